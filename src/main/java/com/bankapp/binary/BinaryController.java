@@ -0,0 +1,330 @@
+package com.bankapp.binary;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.bankapp.model.TransferResult;
+import com.bankapp.repository.ClientRepository;
+import com.bankapp.service.ClientService;
+import com.bankapp.service.TransferService;
+import com.bankapp.util.SessionManager;
+import com.bankapp.util.StageTimers;
+import com.bankapp.util.StageTimers.Stage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.bankapp.binary.BinaryProtocol.*;
+
+/**
+ * Бинарный вариант операций входа, перевода и запроса баланса. Формат описан в {@link BinaryProtocol}.
+ * Буферы запроса и ответа фиксированного размера выделяются один раз на поток обработки и переиспользуются.
+ * Ответ пишется в буфер без промежуточных массивов; новые объекты создаются только для строк запроса.
+ */
+@RestController
+public class BinaryController {
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private static final int HEADER_BYTES = Integer.BYTES + 2;
+    // С запасом покрывает ответы LOGIN и TRANSFER: их нельзя отклонить после того, как операция выполнена
+    private static final int MAX_FIXED_PAYLOAD_BYTES = 64;
+
+    private final ClientService clientService;
+    private final TransferService transferService;
+    private final SessionManager sessionManager;
+    private final StageTimers stageTimers;
+
+    private final Timer[] timers = new Timer[OP_BALANCE + 1];
+
+    public BinaryController(ClientService clientService, TransferService transferService,
+                            SessionManager sessionManager, StageTimers stageTimers, MeterRegistry meterRegistry) {
+        this.clientService = clientService;
+        this.transferService = transferService;
+        this.sessionManager = sessionManager;
+        this.stageTimers = stageTimers;
+
+        timers[OP_LOGIN] = operationTimer(meterRegistry, "login");
+        timers[OP_TRANSFER] = operationTimer(meterRegistry, "transfer");
+        timers[OP_BALANCE] = operationTimer(meterRegistry, "balance");
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("binary.operation.time")
+                .description("Время выполнения операции бинарного API")
+                .tag("operation", operation)
+                .publishPercentiles(0.9)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Operation(summary = "Бинарный API", description = "Вход, перевод и баланс в компактном бинарном формате " +
+            "(Content-Type " + MEDIA_TYPE + "). Тело — последовательность кадров с префиксом длины, " +
+            "ответ содержит код результата для каждого кадра.")
+    @PostMapping(value = "/binary", consumes = MEDIA_TYPE, produces = MEDIA_TYPE)
+    public void handle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Buffers buffers = BUFFERS.get();
+
+        ServletInputStream body = request.getInputStream();
+        int read = body.readNBytes(buffers.requestBytes, 0, buffers.requestBytes.length);
+        if (body.read() != -1) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        ByteBuffer in = buffers.request;
+        in.clear().limit(read);
+        buffers.response.clear();
+        buffers.frames = 0;
+        buffers.loginSeen = false;
+
+        while (in.hasRemaining() && handleFrame(in, buffers)) {
+            // кадры обрабатываются по порядку, на испорченном кадре разбор прекращается
+        }
+
+        ByteBuffer out = buffers.response;
+        response.setContentType(MEDIA_TYPE);
+        response.setContentLength(out.position());
+        response.getOutputStream().write(out.array(), 0, out.position());
+    }
+
+    private boolean handleFrame(ByteBuffer in, Buffers buffers) {
+        if (in.remaining() < Integer.BYTES + 1) {
+            writeHeader(buffers, (byte) 0, BAD_REQUEST, 0);
+            return false;
+        }
+        int frameLength = in.getInt();
+        if (frameLength < 1 || frameLength > in.remaining()) {
+            writeHeader(buffers, (byte) 0, BAD_REQUEST, 0);
+            return false;
+        }
+
+        int frameEnd = in.position() + frameLength;
+        int limit = in.limit();
+        in.limit(frameEnd);
+        byte op = in.get();
+
+        // Ответ ограничен MAX_RESPONSE_BYTES. Последние HEADER_BYTES всегда остаются свободными,
+        // чтобы при нехватке места можно было ответить BAD_REQUEST и прекратить разбор.
+        if (buffers.response.remaining() < 2 * HEADER_BYTES + MAX_FIXED_PAYLOAD_BYTES) {
+            writeHeader(buffers, op, BAD_REQUEST, 0);
+            return false;
+        }
+        if (++buffers.frames > MAX_FRAMES) {
+            writeHeader(buffers, op, BAD_REQUEST, 0);
+            return false;
+        }
+
+        boolean proceed = true;
+        long start = System.nanoTime();
+        try {
+            switch (op) {
+                case OP_LOGIN -> login(in, buffers);
+                case OP_TRANSFER -> transfer(in, buffers);
+                case OP_BALANCE -> balance(buffers);
+                default -> writeHeader(buffers, op, UNKNOWN_OPERATION, 0);
+            }
+        } catch (BufferUnderflowException e) {
+            // Обработчики сначала разбирают кадр целиком и только потом пишут ответ
+            writeHeader(buffers, op, BAD_REQUEST, 0);
+        } catch (BufferOverflowException e) {
+            // Ответ BALANCE не помещается в оставшийся буфер; операция только читает данные
+            writeHeader(buffers, op, BAD_REQUEST, 0);
+            proceed = false;
+        } finally {
+            if (op > 0 && op < timers.length) {
+                timers[op].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            in.limit(limit);
+            in.position(frameEnd);
+        }
+        return proceed;
+    }
+
+    private void login(ByteBuffer in, Buffers buffers) {
+        String username = readString(in);
+        String password = readString(in);
+
+        // Каждый вход выдерживает задержку ClientService: без ограничения один запрос
+        // из тысяч LOGIN занимал бы поток обработки на минуты
+        if (buffers.loginSeen) {
+            writeHeader(buffers, OP_LOGIN, BAD_REQUEST, 0);
+            return;
+        }
+        buffers.loginSeen = true;
+
+        Optional<Client> clientOpt = clientService.login(username, password);
+        if (clientOpt.isEmpty()) {
+            writeHeader(buffers, OP_LOGIN, BAD_CREDENTIALS, 0);
+            return;
+        }
+        sessionManager.login(clientOpt.get());
+
+        String id = clientOpt.get().getId();
+        writeHeader(buffers, OP_LOGIN, OK, Short.BYTES + utf8Length(id));
+        writeString(buffers.response, id);
+    }
+
+    private void transfer(ByteBuffer in, Buffers buffers) {
+        String recipientUsername = readString(in);
+        String recipientAccountNumber = readString(in);
+        double amount = in.getDouble();
+
+        Client sender = sessionManager.getLoggedInClient();
+        if (sender == null) {
+            writeHeader(buffers, OP_TRANSFER, NOT_AUTHENTICATED, 0);
+            return;
+        }
+        List<Account> senderAccounts = sender.getAccounts();
+        if (senderAccounts.isEmpty()) {
+            writeHeader(buffers, OP_TRANSFER, NO_ACCOUNT, 0);
+            return;
+        }
+        Account senderAccount = senderAccounts.get(0);
+
+        Account recipientAccount = findAccount(recipientUsername, recipientAccountNumber);
+        if (recipientAccount == null) {
+            writeHeader(buffers, OP_TRANSFER, RECIPIENT_NOT_FOUND, 0);
+            return;
+        }
+
+        TransferResult result = transferService.transfer(senderAccount, recipientAccount, amount);
+        if (result != TransferResult.OK) {
+            writeHeader(buffers, OP_TRANSFER, resultCode(result), 0);
+            return;
+        }
+        writeHeader(buffers, OP_TRANSFER, OK, Double.BYTES);
+        buffers.response.putDouble(senderAccount.getBalance());
+    }
+
+    private void balance(Buffers buffers) {
+        Client client = sessionManager.getLoggedInClient();
+        if (client == null) {
+            writeHeader(buffers, OP_BALANCE, NOT_AUTHENTICATED, 0);
+            return;
+        }
+
+        List<Account> accounts = client.getAccounts();
+        int count = accounts.size();
+        int payload = Short.BYTES;
+        for (int i = 0; i < count; i++) {
+            payload += Short.BYTES + utf8Length(accounts.get(i).getAccountNumber()) + Double.BYTES;
+        }
+
+        writeHeader(buffers, OP_BALANCE, OK, payload);
+        ByteBuffer out = buffers.response;
+        out.putShort((short) count);
+        for (int i = 0; i < count; i++) {
+            writeString(out, accounts.get(i).getAccountNumber());
+            out.putDouble(accounts.get(i).getBalance());
+        }
+    }
+
+    private Account findAccount(String username, String accountNumber) {
+        long start = stageTimers.start();
+        try {
+            Optional<Client> recipientOpt = ClientRepository.findByUsername(username);
+            if (recipientOpt.isEmpty()) {
+                return null;
+            }
+            for (Account account : recipientOpt.get().getAccounts()) {
+                if (account.getAccountNumber().equals(accountNumber)) {
+                    return account;
+                }
+            }
+            return null;
+        } finally {
+            stageTimers.stop(Stage.REPOSITORY_SCAN, start);
+        }
+    }
+
+    private static byte resultCode(TransferResult result) {
+        return switch (result) {
+            case OK -> OK;
+            case INVALID_AMOUNT -> INVALID_AMOUNT;
+            case DAILY_LIMIT_EXCEEDED -> DAILY_LIMIT_EXCEEDED;
+            case VELOCITY_EXCEEDED -> VELOCITY_EXCEEDED;
+            case INSUFFICIENT_FUNDS -> INSUFFICIENT_FUNDS;
+            case READ_ONLY -> READ_ONLY;
+        };
+    }
+
+    /**
+     * Заголовок с данными пишется, только если после него останется место под ещё один заголовок ошибки,
+     * иначе бросается {@link BufferOverflowException}. Заголовок без данных всегда помещается в этот запас.
+     */
+    private static void writeHeader(Buffers buffers, byte op, byte code, int payloadBytes) {
+        ByteBuffer out = buffers.response;
+        if (payloadBytes > 0 && out.remaining() - HEADER_BYTES < HEADER_BYTES + payloadBytes) {
+            throw new BufferOverflowException();
+        }
+        out.putInt(2 + payloadBytes);
+        out.put(op);
+        out.put(code);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        int length = utf8Length(value);
+        out.putShort((short) length);
+        if (length == value.length()) {
+            // ASCII (номера счетов, id клиентов) пишем напрямую, без промежуточного массива
+            for (int i = 0; i < length; i++) {
+                out.put((byte) value.charAt(i));
+            }
+        } else {
+            out.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class Buffers {
+        final byte[] requestBytes = new byte[MAX_BODY_BYTES];
+        final ByteBuffer request = ByteBuffer.wrap(requestBytes);
+        final ByteBuffer response = ByteBuffer.allocate(MAX_RESPONSE_BYTES);
+
+        // Состояние текущего запроса
+        int frames;
+        boolean loginSeen;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bankapp.binary;
+
+/**
+ * Компактный бинарный протокол для интеграций.
+ *
+ * <p>Тело запроса и ответа — последовательность кадров, числа big-endian:
+ * <pre>
+ * запрос:  int32 длина | uint8 операция | данные
+ * ответ:   int32 длина | uint8 операция | uint8 код результата | данные
+ * строка:  uint16 длина | байты UTF-8
+ * </pre>
+ * Длина кадра не включает сами 4 байта длины. В одном HTTP-запросе можно передать несколько кадров,
+ * ответы идут в том же порядке. Тело запроса не больше {@link #MAX_BODY_BYTES} (иначе HTTP 413).
+ * Если очередной ответ не помещается в {@link #MAX_RESPONSE_BYTES}, на этот кадр приходит BAD_REQUEST
+ * и разбор прекращается; предыдущие кадры уже выполнены. Так же обрабатывается кадр сверх
+ * {@link #MAX_FRAMES}. LOGIN допускается один на запрос (вход с задержкой, как в текстовом API):
+ * на следующие LOGIN приходит BAD_REQUEST, остальные кадры обрабатываются.
+ *
+ * <p>Операции:
+ * <pre>
+ * LOGIN    запрос: строка username, строка password             ответ OK: строка id клиента
+ * TRANSFER запрос: строка username получателя, строка номер счета,
+ *                  float64 сумма                                  ответ OK: float64 баланс отправителя
+ * BALANCE  запрос: —                                             ответ OK: uint16 N, N × (строка номер счета, float64 баланс)
+ * </pre>
+ * При коде, отличном от OK, данные ответа пусты.
+ */
+public final class BinaryProtocol {
+
+    public static final String MEDIA_TYPE = "application/x-bankapp-binary";
+
+    // Операции
+    public static final byte OP_LOGIN = 1;
+    public static final byte OP_TRANSFER = 2;
+    public static final byte OP_BALANCE = 3;
+
+    // Коды результата
+    public static final byte OK = 0;
+    public static final byte BAD_REQUEST = 1;
+    public static final byte UNKNOWN_OPERATION = 2;
+    public static final byte NOT_AUTHENTICATED = 3;
+    public static final byte BAD_CREDENTIALS = 4;
+    public static final byte RECIPIENT_NOT_FOUND = 5;
+    public static final byte NO_ACCOUNT = 6;
+    public static final byte INVALID_AMOUNT = 7;
+    public static final byte DAILY_LIMIT_EXCEEDED = 8;
+    public static final byte VELOCITY_EXCEEDED = 9;
+    public static final byte INSUFFICIENT_FUNDS = 10;
+    public static final byte READ_ONLY = 11;
+
+    public static final int MAX_BODY_BYTES = 64 * 1024;
+    public static final int MAX_RESPONSE_BYTES = 64 * 1024;
+    public static final int MAX_FRAMES = 256;
+
+    private BinaryProtocol() {
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/auth")
@@ -26,12 +25,8 @@ public class AuthController {
     @Autowired
     private MeterRegistry meterRegistry;
 
-    private final AtomicInteger userCount = new AtomicInteger(0);
-    private Counter loginCounter, logoutCounter, registerCounter;
+    private Counter logoutCounter, registerCounter;
     private Timer loginTimer, logoutTimer, registerTimer;
-    private DistributionSummary passwordLengthSummary;
-
-    private Integer currentTimeout = 10;  // Дефолтное значение таймаута
 
     public AuthController(ClientService clientService, SessionManager sessionManager) {
         this.clientService = clientService;
@@ -40,11 +35,7 @@ public class AuthController {
 
         @PostConstruct
         private void initMetrics() {
-        // Counter
-        this.loginCounter = Counter.builder("auth.login.count")
-                .description("Счётчик успешных входов")
-                .register(meterRegistry);
-
+        // Counter (auth.login.count, auth.password.length и auth.logged.in.users — в ClientService)
         this.logoutCounter = Counter.builder("auth.logout.count")
                 .description("Счётчик успешных выходов")
                 .register(meterRegistry);
@@ -71,16 +62,6 @@ public class AuthController {
                 .publishPercentiles(0.9)
                 .publishPercentileHistogram()
                 .register(meterRegistry);
-
-        // DistributionSummary
-        this.passwordLengthSummary = DistributionSummary.builder("auth.password.length")
-                .description("Длина введённых паролей")
-                .register(meterRegistry);
-
-        // Gauge
-        Gauge.builder("auth.logged.in.users", userCount, AtomicInteger::get)
-                .description("Текущее количество вошедших пользователей")
-                .register(meterRegistry);
     }
 
     @Observed(name = "auth.register", contextualName = "auth#register", lowCardinalityKeyValues = {"endpoint", "register"})
@@ -99,7 +80,7 @@ public class AuthController {
     @Operation(summary = "Установка таймаута перед ответом", description = "Устанавливает таймаут перед ответом на запрос пользователя")
     @PostMapping("/setTimeout")
     public ResponseEntity<String> setTimeout(@RequestParam(defaultValue = "10") Integer timeout) {
-        this.currentTimeout = timeout;  // Обновляем значение
+        clientService.setLoginDelayMillis(timeout);  // Обновляем значение
         return ResponseEntity.ok("Таймаут установлен: " + timeout + "millis");
     }
 
@@ -108,19 +89,9 @@ public class AuthController {
     @PostMapping("/login")
     public String login(@RequestParam String username, @RequestParam String password) {
         return loginTimer.record(() -> {
-            loginCounter.increment();
-            passwordLengthSummary.record(password.length());
-
-            try {
-                Thread.sleep(currentTimeout);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
-        
             Optional<Client> clientOpt = clientService.login(username, password);
             if (clientOpt.isPresent()) {
                 sessionManager.login(clientOpt.get());  // Просто передаем Client
-                userCount.incrementAndGet();
                 return "✅ Успешный вход: " + username;
             }
             return "❌ Ошибка: Неверный логин или пароль";
@@ -133,7 +104,7 @@ public class AuthController {
     public String logout() {
         return logoutTimer.record(() -> {
             sessionManager.logout();
-            userCount.decrementAndGet();
+            clientService.logout();
             return "✅ Успешный выход";
         });
     }
@@ -2,8 +2,12 @@ package com.bankapp.controller;
 
 import com.bankapp.model.Account;
 import com.bankapp.model.Client;
+import com.bankapp.model.TransferResult;
 import com.bankapp.repository.ClientRepository;
+import com.bankapp.service.TransferService;
 import com.bankapp.util.SessionManager;
+import com.bankapp.util.StageTimers;
+import com.bankapp.util.StageTimers.Stage;
 import io.micrometer.core.instrument.*;
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,26 +23,25 @@ import jakarta.annotation.PostConstruct;
 @RequestMapping("/transactions")
 public class TransactionController {
     private final SessionManager sessionManager;
+    private final TransferService transferService;
+    private final StageTimers stageTimers;
     @Autowired
     private MeterRegistry meterRegistry;
 
-    private Counter transferCounter, select_recipientCounter;
-    private DistributionSummary amountSummary;
+    private Counter select_recipientCounter;
     private Timer transferTimer, select_recipientTimer;
 
-    public TransactionController(SessionManager sessionManager) {
+    public TransactionController(SessionManager sessionManager, TransferService transferService,
+                                 StageTimers stageTimers) {
         this.sessionManager = sessionManager;
+        this.transferService = transferService;
+        this.stageTimers = stageTimers;
     }
 
     @PostConstruct
     private void initMetrics() {
-        // Метрики
-        this.transferCounter = meterRegistry.counter("transactions.count");
+        // Метрики (transactions.count и transactions.amounts — в TransferService)
         this.select_recipientCounter = meterRegistry.counter("select_recipient.count");
-        this.amountSummary = DistributionSummary.builder("transactions.amounts")
-                .baseUnit("rubles")
-                .description("Суммы переводов")
-                .register(meterRegistry);
         this.transferTimer = Timer.builder("transactions.transfer.time")
                 .description("Время выполнения перевода")
                 .publishPercentiles(0.9)
@@ -81,16 +84,22 @@ public class TransactionController {
 
         Account senderAccount = senderAccountOpt.get();
 
-        Optional<Client> recipientOpt = ClientRepository.findByUsername(username);
+        Optional<Client> recipientOpt;
+        Optional<Account> recipientAccountOpt;
+        long scanStart = stageTimers.start();
+        try {
+            recipientOpt = ClientRepository.findByUsername(username);
+            recipientAccountOpt = recipientOpt.flatMap(recipient -> recipient.getAccounts()
+                    .stream()
+                    .filter(a -> a.getAccountNumber().equals(accountNumber))
+                    .findFirst());
+        } finally {
+            stageTimers.stop(Stage.REPOSITORY_SCAN, scanStart);
+        }
+
         if (recipientOpt.isEmpty()) {
             return "❌ Ошибка: Получатель не найден!";
         }
-
-        Optional<Account> recipientAccountOpt = recipientOpt.get().getAccounts()
-                .stream()
-                .filter(a -> a.getAccountNumber().equals(accountNumber))
-                .findFirst();
-
         if (recipientAccountOpt.isEmpty()) {
             return "❌ Ошибка: У получателя нет такого счета!";
         }
@@ -130,21 +139,14 @@ public class TransactionController {
 
             Account senderAccount = senderAccountOpt.get();
 
-            if (senderAccount.getBalance() < amount) {
-                return "❌ Ошибка: Недостаточно средств на счете!";
+            TransferResult result = transferService.transfer(senderAccount, recipientAccount, amount);
+            if (result != TransferResult.OK) {
+                return result.getMessage();
             }
 
-            // Обновляем балансы
-            senderAccount.setBalance(senderAccount.getBalance() - amount);
-            recipientAccount.setBalance(recipientAccount.getBalance() + amount);
-
             // Очищаем данные получателя после успешного перевода
             sessionManager.clearRecipientData();
 
-            // Метрики
-            transferCounter.increment();
-            amountSummary.record(amount);
-
             return "✅ Перевод завершен! " + amount + "₽ переведено на счет " + recipientAccount.getAccountNumber();
         });
     }
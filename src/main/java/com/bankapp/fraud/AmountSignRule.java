@@ -0,0 +1,25 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(0)
+public class AmountSignRule implements TransferRule {
+
+    @Override
+    public String name() {
+        return "amount-sign";
+    }
+
+    @Override
+    public TransferResult check(Account sender, Account recipient, double amount, long nowMillis) {
+        // !(amount > 0) отсекает и NaN
+        if (!(amount > 0) || Double.isInfinite(amount)) {
+            return TransferResult.INVALID_AMOUNT;
+        }
+        return TransferResult.OK;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Лимит суммы списаний со счёта за последние 24 часа (скользящее окно по часовым корзинам).
+ */
+@Component
+@Order(10)
+public class DailyLimitRule implements TransferRule {
+    private static final long WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int BUCKETS = 24;
+
+    private final double dailyLimit;
+
+    private final Map<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final Function<String, SlidingWindowCounter> newCounter = id -> new SlidingWindowCounter(WINDOW_MILLIS, BUCKETS);
+
+    public DailyLimitRule(@Value("${transfer.limits.daily-amount:100000}") double dailyLimit) {
+        this.dailyLimit = dailyLimit;
+    }
+
+    @Override
+    public String name() {
+        return "daily-limit";
+    }
+
+    @Override
+    public TransferResult check(Account sender, Account recipient, double amount, long nowMillis) {
+        SlidingWindowCounter counter = counters.computeIfAbsent(sender.getId(), newCounter);
+        if (!counter.tryAdd(nowMillis, amount, dailyLimit)) {
+            return TransferResult.DAILY_LIMIT_EXCEEDED;
+        }
+        return TransferResult.OK;
+    }
+
+    @Override
+    public void release(Account sender, Account recipient, double amount, long nowMillis) {
+        SlidingWindowCounter counter = counters.get(sender.getId());
+        if (counter != null) {
+            counter.remove(nowMillis, amount);
+        }
+    }
+}
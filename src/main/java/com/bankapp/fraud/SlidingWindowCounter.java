@@ -0,0 +1,65 @@
+package com.bankapp.fraud;
+
+import java.util.Arrays;
+
+/**
+ * Сумма значений за скользящее окно, разбитое на фиксированное число корзин.
+ * Точность — одна корзина; после создания объект память не выделяет.
+ */
+public class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final double[] values;
+
+    public SlidingWindowCounter(long windowMillis, int buckets) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.bucketIds = new long[buckets];
+        this.values = new double[buckets];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    /**
+     * Добавляет значение, только если сумма за окно вместе с ним не превысит limit.
+     * Проверка и добавление выполняются под одним монитором.
+     */
+    public synchronized boolean tryAdd(long nowMillis, double value, double limit) {
+        if (sum(nowMillis) + value > limit) {
+            return false;
+        }
+        add(nowMillis, value);
+        return true;
+    }
+
+    /**
+     * Отменяет {@link #add}/{@link #tryAdd} с тем же nowMillis.
+     * Если корзина уже переиспользована, значение из окна ушло само и вычитать нечего.
+     */
+    public synchronized void remove(long nowMillis, double value) {
+        long id = nowMillis / bucketMillis;
+        int i = (int) (id % bucketIds.length);
+        if (bucketIds[i] == id) {
+            values[i] -= value;
+        }
+    }
+
+    public synchronized void add(long nowMillis, double value) {
+        long id = nowMillis / bucketMillis;
+        int i = (int) (id % bucketIds.length);
+        if (bucketIds[i] != id) {
+            bucketIds[i] = id;
+            values[i] = 0;
+        }
+        values[i] += value;
+    }
+
+    public synchronized double sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - bucketIds.length;
+        double sum = 0;
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (bucketIds[i] > oldest) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Цепочка проверок перед переводом. Правила — бины {@link TransferRule}, порядок задаётся через @Order.
+ * Метрики (таймер и счётчик отказов на каждое правило) создаются один раз при старте.
+ */
+@Component
+public class TransferCheckPipeline {
+    private final TransferRule[] rules;
+    private final Timer[] timers;
+    private final Counter[] rejections;
+
+    public TransferCheckPipeline(List<TransferRule> rules, MeterRegistry meterRegistry) {
+        this.rules = rules.toArray(new TransferRule[0]);
+        this.timers = new Timer[this.rules.length];
+        this.rejections = new Counter[this.rules.length];
+        for (int i = 0; i < this.rules.length; i++) {
+            String name = this.rules[i].name();
+            timers[i] = Timer.builder("transfer.checks.time")
+                    .description("Время выполнения проверки перевода")
+                    .tag("rule", name)
+                    .publishPercentiles(0.9, 0.99)
+                    .register(meterRegistry);
+            rejections[i] = Counter.builder("transfer.checks.rejected")
+                    .description("Количество переводов, отклонённых проверкой")
+                    .tag("rule", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Проверяет перевод всеми правилами и резервирует его в их счётчиках.
+     * Если какое-то правило отказало, резервы предыдущих правил снимаются.
+     *
+     * @return {@link TransferResult#OK}, если все проверки пройдены, иначе результат первого отклонившего правила
+     */
+    public TransferResult check(Account sender, Account recipient, double amount, long nowMillis) {
+        for (int i = 0; i < rules.length; i++) {
+            long start = System.nanoTime();
+            TransferResult result = rules[i].check(sender, recipient, amount, nowMillis);
+            timers[i].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (result != TransferResult.OK) {
+                rejections[i].increment();
+                release(i, sender, recipient, amount, nowMillis);
+                return result;
+            }
+        }
+        return TransferResult.OK;
+    }
+
+    /**
+     * Снимает резервы успешного {@link #check}, если перевод не состоялся (например, не хватило средств).
+     */
+    public void release(Account sender, Account recipient, double amount, long nowMillis) {
+        release(rules.length, sender, recipient, amount, nowMillis);
+    }
+
+    private void release(int ruleCount, Account sender, Account recipient, double amount, long nowMillis) {
+        for (int i = 0; i < ruleCount; i++) {
+            rules[i].release(sender, recipient, amount, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+
+/**
+ * Проверка перевода перед списанием средств.
+ * Реализации вызываются на каждом переводе, поэтому не должны создавать объекты:
+ * результат — константа перечисления, состояние — заранее выделенные структуры.
+ */
+public interface TransferRule {
+
+    /** Имя правила для метрик. */
+    String name();
+
+    /**
+     * Проверяет перевод и, если он разрешён, сразу резервирует его в счётчиках правила.
+     * Проверка и резерв атомарны, поэтому параллельные переводы не могут вместе превысить лимит.
+     *
+     * @return {@link TransferResult#OK}, если перевод разрешён, иначе причина отказа
+     */
+    TransferResult check(Account sender, Account recipient, double amount, long nowMillis);
+
+    /**
+     * Снимает резерв, сделанный {@link #check} с тем же nowMillis, если перевод в итоге не состоялся.
+     */
+    default void release(Account sender, Account recipient, double amount, long nowMillis) {
+    }
+}
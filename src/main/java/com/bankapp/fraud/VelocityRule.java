@@ -0,0 +1,55 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Ограничение числа переводов со счёта отправителя за скользящее окно.
+ */
+@Component
+@Order(20)
+public class VelocityRule implements TransferRule {
+    private static final int BUCKETS = 60;
+
+    private final int maxTransfers;
+
+    private final Map<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final Function<String, SlidingWindowCounter> newCounter;
+
+    public VelocityRule(@Value("${transfer.limits.velocity-count:30}") int maxTransfers,
+                        @Value("${transfer.limits.velocity-window-seconds:60}") long windowSeconds) {
+        this.maxTransfers = maxTransfers;
+        long windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.newCounter = id -> new SlidingWindowCounter(windowMillis, BUCKETS);
+    }
+
+    @Override
+    public String name() {
+        return "velocity";
+    }
+
+    @Override
+    public TransferResult check(Account sender, Account recipient, double amount, long nowMillis) {
+        SlidingWindowCounter counter = counters.computeIfAbsent(sender.getId(), newCounter);
+        if (!counter.tryAdd(nowMillis, 1, maxTransfers)) {
+            return TransferResult.VELOCITY_EXCEEDED;
+        }
+        return TransferResult.OK;
+    }
+
+    @Override
+    public void release(Account sender, Account recipient, double amount, long nowMillis) {
+        SlidingWindowCounter counter = counters.get(sender.getId());
+        if (counter != null) {
+            counter.remove(nowMillis, 1);
+        }
+    }
+}
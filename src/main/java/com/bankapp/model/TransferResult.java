@@ -0,0 +1,23 @@
+package com.bankapp.model;
+
+/**
+ * Итог попытки перевода. Сообщение — то, что видит пользователь текстового API.
+ */
+public enum TransferResult {
+    OK("✅ Перевод завершен!"),
+    INVALID_AMOUNT("❌ Ошибка: Сумма перевода должна быть положительной!"),
+    DAILY_LIMIT_EXCEEDED("❌ Ошибка: Превышен дневной лимит переводов!"),
+    VELOCITY_EXCEEDED("❌ Ошибка: Слишком много переводов, попробуйте позже!"),
+    INSUFFICIENT_FUNDS("❌ Ошибка: Недостаточно средств на счете!"),
+    READ_ONLY("❌ Ошибка: Узел только для чтения, выполните запрос на primary");
+
+    private final String message;
+
+    TransferResult(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,134 @@
+package com.bankapp.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Actuator-эндпоинт /actuator/profile: снимает сэмплы CPU средствами JFR в течение заданного времени
+ * и возвращает стеки в свёрнутом формате (строка "frame;frame;frame count"), который напрямую
+ * понимают flamegraph.pl и speedscope.
+ *
+ * <pre>
+ * curl -X POST localhost:8080/actuator/profile -H 'Content-Type: application/json' -d '{"seconds":10}'
+ * </pre>
+ * Одновременно выполняется не больше одного снятия, длительность ограничена profiling.max-seconds.
+ * По умолчанию выключен: бин создаётся только при management.endpoint.profile.enabled=true.
+ * JFR хранит не больше 64 кадров стека, а стеки запросов Tomcat и Spring MVC бывают глубже:
+ * такие сэмплы попадают под корень [truncated]. Глубину можно увеличить при запуске JVM:
+ * {@code -XX:FlightRecorderOptions:stackdepth=256}.
+ */
+@Component
+@Endpoint(id = "profile")
+@ConditionalOnAvailableEndpoint(endpoint = ProfileEndpoint.class)
+public class ProfileEndpoint {
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final int DEFAULT_SECONDS = 10;
+    private static final String TRUNCATED_ROOT = "[truncated]";
+
+    @Value("${profiling.max-seconds:60}")
+    private int maxSeconds;
+
+    @Value("${profiling.sample-period-ms:10}")
+    private long samplePeriodMs;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @WriteOperation(produces = "text/plain")
+    public WebEndpointResponse<String> profile(@Nullable Integer seconds) throws IOException, InterruptedException {
+        int duration = seconds == null ? DEFAULT_SECONDS : seconds;
+        if (duration < 1 || duration > maxSeconds) {
+            return new WebEndpointResponse<>("❌ Ошибка: Длительность должна быть от 1 до " + maxSeconds + " секунд",
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!running.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>("❌ Ошибка: Профилирование уже выполняется", 409);
+        }
+
+        // Флаг сбрасывается при любой ошибке, включая создание временного файла,
+        // иначе эндпоинт навсегда отвечал бы 409
+        try {
+            Path file = Files.createTempFile("bankapp-profile", ".jfr");
+            try {
+                record(file, duration);
+                return new WebEndpointResponse<>(collapseStacks(file));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void record(Path file, int seconds) throws IOException, InterruptedException {
+        try (Recording recording = new Recording()) {
+            recording.setName("bankapp-profile");
+            recording.enable(EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(samplePeriodMs));
+            recording.start();
+            Thread.sleep(Duration.ofSeconds(seconds).toMillis());
+            recording.stop();
+            recording.dump(file);
+        }
+    }
+
+    private String collapseStacks(Path file) throws IOException {
+        Map<String, Long> stacks = new HashMap<>();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (!EXECUTION_SAMPLE.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                RecordedStackTrace stackTrace = event.getStackTrace();
+                if (stackTrace == null) {
+                    continue;
+                }
+                stacks.merge(collapse(stackTrace), 1L, Long::sum);
+            }
+        }
+
+        StringBuilder result = new StringBuilder();
+        stacks.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> result.append(e.getKey()).append(' ').append(e.getValue()).append('\n'));
+        return result.toString();
+    }
+
+    // JFR отдаёт кадры от вершины стека, свёрнутый формат ожидает их от корня.
+    // Обрезанный стек начинается с произвольного кадра в середине, поэтому такие стеки
+    // собираются под общим корнем, а не рассыпаются по графу отдельными корнями.
+    private static String collapse(RecordedStackTrace stackTrace) {
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder stack = new StringBuilder();
+        if (stackTrace.isTruncated()) {
+            stack.append(TRUNCATED_ROOT);
+        }
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            RecordedMethod method = frames.get(i).getMethod();
+            if (stack.length() > 0) {
+                stack.append(';');
+            }
+            stack.append(method.getType().getName()).append('.').append(method.getName());
+        }
+        return stack.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bankapp.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * На follower'е отклоняет чтения, если данные отстали от primary больше допустимого.
+ */
+public class FollowerReadGuard implements HandlerInterceptor {
+    private final ReplicationFollower follower;
+
+    public FollowerReadGuard(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!follower.isFresh()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    "❌ Ошибка: Данные реплики устарели более чем на " + follower.getMaxStalenessMs() + " мс");
+            return false;
+        }
+        return true;
+    }
+
+    static void reject(HttpServletResponse response, HttpStatus status, String message) throws Exception {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.bankapp.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * На follower'е отклоняет изменяющие запросы: их нужно слать на primary.
+ * Пути задаются в {@link ReplicationWebConfig}, сопоставление выполняет сам Spring MVC.
+ */
+public class FollowerWriteGuard implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        FollowerReadGuard.reject(response, HttpStatus.CONFLICT,
+                "❌ Ошибка: Узел только для чтения, выполните запрос на primary");
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bankapp.replication;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/replication")
+public class ReplicationController {
+
+    @Value("${replication.role:standalone}")
+    private String role;
+
+    private final ReplicationPublisher publisher;
+
+    @Autowired(required = false)
+    private ReplicationFollower follower;
+
+    public ReplicationController(ReplicationPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Operation(summary = "Статус репликации", description = "Роль узла, номер последнего события и отставание реплики")
+    @GetMapping("/status")
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", role);
+        if (follower != null) {
+            status.put("appliedSeq", follower.getAppliedSeq());
+            status.put("stalenessMs", follower.getStalenessMillis());
+            status.put("fresh", follower.isFresh());
+        } else {
+            status.put("seq", publisher.getLastSeq());
+            status.put("followers", publisher.getFollowerCount());
+        }
+        return status;
+    }
+}
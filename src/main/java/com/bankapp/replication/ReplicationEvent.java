@@ -0,0 +1,87 @@
+package com.bankapp.replication;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Событие журнала репликации. Передаётся от primary к follower'ам одной JSON-строкой.
+ * Снимок может уже содержать изменения событий, идущих сразу после него, поэтому follower
+ * применяет их идемпотентно: REGISTER заменяет клиента целиком, ACCOUNT_CREATED пропускается,
+ * если счёт уже есть у клиента, а TRANSFER несёт абсолютные балансы.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplicationEvent {
+
+    public enum Type {
+        SNAPSHOT,
+        REGISTER,
+        ACCOUNT_CREATED,
+        TRANSFER,
+        HEARTBEAT
+    }
+
+    private Type type;
+    private long seq;
+    private long timestamp;
+
+    // SNAPSHOT
+    private List<Client> clients;
+
+    // REGISTER
+    private Client client;
+
+    // ACCOUNT_CREATED
+    private String clientId;
+    private Account account;
+
+    // TRANSFER
+    private String senderAccountId;
+    private Double senderBalance;
+    private String recipientAccountId;
+    private Double recipientBalance;
+
+    public static ReplicationEvent snapshot(List<Client> clients) {
+        ReplicationEvent event = new ReplicationEvent();
+        event.type = Type.SNAPSHOT;
+        event.clients = clients;
+        return event;
+    }
+
+    public static ReplicationEvent register(Client client) {
+        ReplicationEvent event = new ReplicationEvent();
+        event.type = Type.REGISTER;
+        event.client = client;
+        return event;
+    }
+
+    public static ReplicationEvent accountCreated(String clientId, Account account) {
+        ReplicationEvent event = new ReplicationEvent();
+        event.type = Type.ACCOUNT_CREATED;
+        event.clientId = clientId;
+        event.account = account;
+        return event;
+    }
+
+    public static ReplicationEvent transfer(Account sender, Account recipient) {
+        ReplicationEvent event = new ReplicationEvent();
+        event.type = Type.TRANSFER;
+        event.senderAccountId = sender.getId();
+        event.senderBalance = sender.getBalance();
+        event.recipientAccountId = recipient.getId();
+        event.recipientBalance = recipient.getBalance();
+        return event;
+    }
+
+    public static ReplicationEvent heartbeat() {
+        ReplicationEvent event = new ReplicationEvent();
+        event.type = Type.HEARTBEAT;
+        return event;
+    }
+}
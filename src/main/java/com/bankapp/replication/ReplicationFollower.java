@@ -0,0 +1,215 @@
+package com.bankapp.replication;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.bankapp.repository.AccountRepository;
+import com.bankapp.repository.ClientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Follower: подключается к primary, получает снимок и применяет события строго по порядку.
+ * При разрыве или пропуске номера переподключается и заново получает снимок.
+ */
+@Component
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class ReplicationFollower {
+    private static final int READ_TIMEOUT_STALENESS_MULTIPLIER = 2;
+
+    @Value("${replication.primary-host:127.0.0.1}")
+    private String primaryHost;
+
+    @Value("${replication.port:9500}")
+    private int port;
+
+    @Value("${replication.reconnect-ms:1000}")
+    private long reconnectMs;
+
+    @Value("${replication.max-staleness-ms:2000}")
+    private long maxStalenessMs;
+
+    private final ObjectMapper objectMapper;
+    private final AccountRepository accountRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running = true;
+    private volatile Socket socket;
+    private volatile long appliedSeq = -1;
+    private volatile long lastContactMillis = 0;
+
+    public ReplicationFollower(ObjectMapper objectMapper, AccountRepository accountRepository,
+                               MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.accountRepository = accountRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    private void start() {
+        Thread thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+
+        Gauge.builder("replication.seq", this, ReplicationFollower::getAppliedSeq)
+                .description("Номер последнего применённого события")
+                .register(meterRegistry);
+        Gauge.builder("replication.staleness", this, ReplicationFollower::getStalenessMillis)
+                .baseUnit("milliseconds")
+                .description("Время с последнего сообщения от primary")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    private void stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    /**
+     * Сколько миллисекунд прошло с последнего сообщения от primary.
+     * Primary шлёт heartbeat, поэтому при живом соединении это значение мало даже без записей.
+     */
+    public long getStalenessMillis() {
+        if (appliedSeq < 0) {
+            return Long.MAX_VALUE;
+        }
+        return System.currentTimeMillis() - lastContactMillis;
+    }
+
+    public boolean isFresh() {
+        return getStalenessMillis() <= maxStalenessMs;
+    }
+
+    public long getMaxStalenessMs() {
+        return maxStalenessMs;
+    }
+
+    private void run() {
+        while (running) {
+            try (Socket s = connect();
+                 BufferedReader in = new BufferedReader(
+                         new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8))) {
+                socket = s;
+                System.out.println("🔁 Репликация: подключено к primary " + primaryHost + ":" + port);
+                String line;
+                while ((line = in.readLine()) != null) {
+                    apply(objectMapper.readValue(line, ReplicationEvent.class));
+                }
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("❌ Репликация: соединение с primary потеряно: " + e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // Некорректное событие (null в полях, неизвестный тип) не должно останавливать поток:
+                // переподключаемся и получаем свежий снимок, как при разрыве соединения
+                System.err.println("❌ Репликация: не удалось применить событие, переподключаемся: " + e);
+            }
+
+            appliedSeq = -1;
+            try {
+                Thread.sleep(reconnectMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Primary шлёт heartbeat каждые replication.heartbeat-ms, поэтому долгая тишина означает
+     * полуоткрытое соединение: readLine() прерывается по таймауту, и follower переподключается.
+     */
+    private Socket connect() throws IOException {
+        int timeoutMs = (int) Math.min(Integer.MAX_VALUE, READ_TIMEOUT_STALENESS_MULTIPLIER * maxStalenessMs);
+        Socket s = new Socket();
+        try {
+            s.connect(new InetSocketAddress(primaryHost, port), timeoutMs);
+            s.setSoTimeout(timeoutMs);
+        } catch (IOException e) {
+            s.close();
+            throw e;
+        }
+        return s;
+    }
+
+    void apply(ReplicationEvent event) throws IOException {
+        if (event.getType() == ReplicationEvent.Type.SNAPSHOT) {
+            applySnapshot(event);
+        } else if (event.getType() == ReplicationEvent.Type.HEARTBEAT) {
+            if (event.getSeq() != appliedSeq) {
+                throw new IOException("heartbeat seq " + event.getSeq() + " не совпадает с применённым " + appliedSeq);
+            }
+        } else {
+            if (appliedSeq < 0 || event.getSeq() != appliedSeq + 1) {
+                throw new IOException("пропуск в журнале: ожидали " + (appliedSeq + 1) + ", получили " + event.getSeq());
+            }
+            applyChange(event);
+        }
+        appliedSeq = event.getSeq();
+        lastContactMillis = System.currentTimeMillis();
+    }
+
+    private void applySnapshot(ReplicationEvent event) {
+        ClientRepository.clear();
+        accountRepository.clear();
+        for (Client client : event.getClients()) {
+            saveClient(client);
+        }
+        System.out.println("🔁 Репликация: применён снимок, клиентов: " + event.getClients().size()
+                + ", seq: " + event.getSeq());
+    }
+
+    private void applyChange(ReplicationEvent event) {
+        switch (event.getType()) {
+            case REGISTER -> saveClient(event.getClient());
+            case ACCOUNT_CREATED -> ClientRepository.findById(event.getClientId())
+                    .ifPresent(client -> addAccount(client, event.getAccount()));
+            case TRANSFER -> {
+                accountRepository.findById(event.getSenderAccountId())
+                        .ifPresent(a -> a.setBalance(event.getSenderBalance()));
+                accountRepository.findById(event.getRecipientAccountId())
+                        .ifPresent(a -> a.setBalance(event.getRecipientBalance()));
+            }
+            default -> throw new IllegalArgumentException("Неизвестный тип события: " + event.getType());
+        }
+    }
+
+    private void addAccount(Client client, Account account) {
+        // Счёт мог попасть в снимок раньше своего события: тогда у клиента и в репозитории
+        // уже один и тот же объект, и замена разорвала бы эту связь
+        for (Account existing : client.getAccounts()) {
+            if (existing.getId().equals(account.getId())) {
+                return;
+            }
+        }
+        client.getAccounts().add(account);
+        accountRepository.save(account);
+    }
+
+    private void saveClient(Client client) {
+        ClientRepository.save(client);
+        client.getAccounts().forEach(accountRepository::save);
+    }
+}
@@ -0,0 +1,271 @@
+package com.bankapp.replication;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.bankapp.repository.ClientRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Журнал репликации на стороне primary.
+ * Каждое изменение получает порядковый номер и рассылается всем подключённым follower'ам.
+ * Новый follower сначала получает снимок всех клиентов, затем поток событий.
+ * В роли standalone и follower все методы publish* ничего не делают.
+ */
+@Component
+public class ReplicationPublisher {
+
+    @Value("${replication.role:standalone}")
+    private String role;
+
+    @Value("${replication.bind-address:127.0.0.1}")
+    private String bindAddress;
+
+    @Value("${replication.port:9500}")
+    private int port;
+
+    @Value("${replication.heartbeat-ms:200}")
+    private long heartbeatMs;
+
+    @Value("${replication.follower-queue-size:10000}")
+    private int followerQueueSize;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final List<FollowerConnection> followers = new CopyOnWriteArrayList<>();
+    private long lastSeq = 0;  // защищено this
+
+    private ServerSocket serverSocket;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    public ReplicationPublisher(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isPrimary() {
+        return "primary".equals(role);
+    }
+
+    @PostConstruct
+    private void start() throws IOException {
+        if (!isPrimary()) {
+            return;
+        }
+
+        serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+        Thread acceptThread = new Thread(this::acceptLoop, "replication-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replication-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeatExecutor.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("replication.followers", followers, List::size)
+                .description("Количество подключённых follower'ов")
+                .register(meterRegistry);
+        Gauge.builder("replication.seq", this, ReplicationPublisher::getLastSeq)
+                .description("Номер последнего события журнала репликации")
+                .register(meterRegistry);
+
+        System.out.println("🔁 Репликация: primary слушает " + bindAddress + ":" + port);
+    }
+
+    @PreDestroy
+    private void stop() {
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
+        }
+        followers.forEach(FollowerConnection::close);
+    }
+
+    public void publishRegister(Client client) {
+        publish(ReplicationEvent.register(client));
+    }
+
+    public void publishAccountCreated(String clientId, Account account) {
+        publish(ReplicationEvent.accountCreated(clientId, account));
+    }
+
+    /**
+     * Балансы читаются под блокировкой журнала, поэтому событие с большим номером
+     * никогда не несёт более старые значения, чем предыдущее.
+     */
+    public synchronized void publishTransfer(Account sender, Account recipient) {
+        publish(ReplicationEvent.transfer(sender, recipient));
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    private void sendHeartbeat() {
+        // Исключение из задачи молча отменяет расписание, и follower'ы навсегда остались бы устаревшими
+        try {
+            publish(ReplicationEvent.heartbeat());
+        } catch (RuntimeException e) {
+            System.err.println("❌ Репликация: ошибка отправки heartbeat: " + e);
+        }
+    }
+
+    /**
+     * Не бросает исключений: вызывается уже после изменения данных, и ошибка репликации
+     * не должна превращать состоявшийся перевод в ответ 500.
+     */
+    private synchronized void publish(ReplicationEvent event) {
+        if (!isPrimary()) {
+            return;
+        }
+        if (event.getType() != ReplicationEvent.Type.HEARTBEAT) {
+            lastSeq++;
+        }
+        if (followers.isEmpty()) {
+            return;
+        }
+        event.setSeq(lastSeq);
+        event.setTimestamp(System.currentTimeMillis());
+
+        // Сериализуем один раз под блокировкой: строка фиксирует состояние на момент события
+        String line;
+        try {
+            line = serialize(event);
+        } catch (RuntimeException e) {
+            // Событие не доставлено: отключаем всех follower'ов, при переподключении они получат свежий снимок
+            System.err.println("❌ Репликация: не удалось сериализовать событие " + event.getType() + ": " + e);
+            followers.forEach(FollowerConnection::close);
+            return;
+        }
+        for (FollowerConnection follower : followers) {
+            if (!follower.offer(line)) {
+                // Follower не успевает: отключаем, при переподключении он получит свежий снимок
+                System.err.println("❌ Репликация: очередь follower'а переполнена, отключаем " + follower);
+                follower.close();
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("❌ Репликация: ошибка приёма подключения: " + e.getMessage());
+                }
+                continue;
+            }
+
+            FollowerConnection follower = new FollowerConnection(socket);
+            try {
+                synchronized (this) {
+                    ReplicationEvent snapshot = ReplicationEvent.snapshot(new ArrayList<>(ClientRepository.getAllClients()));
+                    snapshot.setSeq(lastSeq);
+                    snapshot.setTimestamp(System.currentTimeMillis());
+                    follower.offer(serialize(snapshot));
+                    followers.add(follower);
+                }
+                follower.start();
+                System.out.println("🔁 Репликация: подключён follower " + follower);
+            } catch (RuntimeException e) {
+                // Например, список счетов клиента изменился во время сериализации снимка.
+                // Follower переподключится и получит снимок заново, поток приёма продолжает работу.
+                System.err.println("❌ Репликация: не удалось отправить снимок follower'у " + follower + ": " + e);
+                follower.close();
+            }
+        }
+    }
+
+    private String serialize(ReplicationEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сериализовать событие репликации", e);
+        }
+    }
+
+    private class FollowerConnection {
+        private final Socket socket;
+        private final BlockingQueue<String> queue;
+        private final Thread writer;
+
+        FollowerConnection(Socket socket) {
+            this.socket = socket;
+            this.queue = new LinkedBlockingQueue<>(followerQueueSize);
+            this.writer = new Thread(this::writeLoop, "replication-writer-" + socket.getPort());
+            this.writer.setDaemon(true);
+        }
+
+        boolean offer(String line) {
+            return queue.offer(line);
+        }
+
+        void start() {
+            writer.start();
+        }
+
+        void close() {
+            followers.remove(this);
+            writer.interrupt();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        private void writeLoop() {
+            try (BufferedWriter out = new BufferedWriter(
+                    new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    out.write(queue.take());
+                    out.write('\n');
+                    // Сбрасываем буфер только когда очередь опустела, чтобы пачки событий уходили одним пакетом
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                System.out.println("🔁 Репликация: follower " + this + " отключён");
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return socket.getRemoteSocketAddress().toString();
+        }
+    }
+}
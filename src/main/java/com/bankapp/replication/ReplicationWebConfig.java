@@ -0,0 +1,24 @@
+package com.bankapp.replication;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class ReplicationWebConfig implements WebMvcConfigurer {
+    private final ReplicationFollower follower;
+
+    public ReplicationWebConfig(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new FollowerWriteGuard())
+                .addPathPatterns("/auth/register", "/accounts/create", "/transactions/transfer");
+        registry.addInterceptor(new FollowerReadGuard(follower))
+                .addPathPatterns("/auth/**", "/accounts/**", "/transactions/**", "/binary");
+    }
+}
@@ -3,23 +3,31 @@ package com.bankapp.repository;
 import com.bankapp.model.Account;
 import org.springframework.stereotype.Repository;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
 public class AccountRepository {
-    private final Map<String, Account> accounts = new HashMap<>();
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
 
     public Account save(Account account) {
         accounts.put(account.getId(), account);
         return account;
     }
 
+    public Optional<Account> findById(String id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
     public Optional<Account> findByNumber(String number) {
         return accounts.values()
                 .stream()
                 .filter(a -> a.getAccountNumber().equals(number))
                 .findFirst();
     }
+
+    public void clear() {
+        accounts.clear();
+    }
 }
@@ -2,9 +2,11 @@ package com.bankapp.repository;
 
 import com.bankapp.model.Client;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ClientRepository {
-    private static final Map<String, Client> clients = new HashMap<>();
+    // Конкурентная мапа: на follower'е записи применяются из потока репликации параллельно с чтениями
+    private static final Map<String, Client> clients = new ConcurrentHashMap<>();
 
     public static Client save(Client client) {
         clients.put(client.getId(), client);
@@ -24,4 +26,8 @@ public class ClientRepository {
     public static Collection<Client> getAllClients() {
         return clients.values();
     }
-}
\ No newline at end of file
+
+    public static void clear() {
+        clients.clear();
+    }
+}
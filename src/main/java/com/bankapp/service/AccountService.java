@@ -1,5 +1,6 @@
 package com.bankapp.service;
 
+import com.bankapp.replication.ReplicationPublisher;
 import com.bankapp.repository.AccountRepository;
 import com.bankapp.model.Account;
 import com.bankapp.model.Client;
@@ -14,6 +15,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AccountService {
     private  final AccountRepository accountRepository;
+    private final ReplicationPublisher replicationPublisher;
 
     public Account createAccount(String clientId) {
         Optional<Client> clientOpt = ClientRepository.findById(clientId);
@@ -23,7 +25,9 @@ public class AccountService {
 
         Account account = new Account();
         clientOpt.get().getAccounts().add(account);
-        return accountRepository.save(account);
+        accountRepository.save(account);
+        replicationPublisher.publishAccountCreated(clientId, account);
+        return account;
     }
 
     public Optional<Account> findByNumber(String number) {
@@ -1,21 +1,90 @@
 package com.bankapp.service;
 
 import com.bankapp.model.Client;
+import com.bankapp.replication.ReplicationPublisher;
 import com.bankapp.repository.ClientRepository;
+import com.bankapp.util.StageTimers;
+import com.bankapp.util.StageTimers.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Регистрация и вход клиентов. Метрики входа и задержка перед ним общие для текстового и бинарного API.
+ */
 @Service
 public class ClientService {
+    private final ReplicationPublisher replicationPublisher;
+    private final StageTimers stageTimers;
+
+    private final AtomicInteger userCount = new AtomicInteger(0);
+    private final Counter loginCounter;
+    private final DistributionSummary passwordLengthSummary;
+
+    private volatile int loginDelayMillis = 10;  // Дефолтное значение таймаута
+
+    public ClientService(ReplicationPublisher replicationPublisher, StageTimers stageTimers,
+                         MeterRegistry meterRegistry) {
+        this.replicationPublisher = replicationPublisher;
+        this.stageTimers = stageTimers;
+
+        this.loginCounter = Counter.builder("auth.login.count")
+                .description("Счётчик успешных входов")
+                .register(meterRegistry);
+        this.passwordLengthSummary = DistributionSummary.builder("auth.password.length")
+                .description("Длина введённых паролей")
+                .register(meterRegistry);
+        Gauge.builder("auth.logged.in.users", userCount, AtomicInteger::get)
+                .description("Текущее количество вошедших пользователей")
+                .register(meterRegistry);
+    }
+
+    /** Искусственная задержка перед каждым входом, задаётся через /auth/setTimeout. */
+    public void setLoginDelayMillis(int loginDelayMillis) {
+        this.loginDelayMillis = loginDelayMillis;
+    }
 
     public Client register(String fullName, String phone, String username, String password) {
         Client client = new Client(fullName, phone, username, password);
-        return ClientRepository.save(client);
+        ClientRepository.save(client);
+        replicationPublisher.publishRegister(client);
+        return client;
     }
 
     public Optional<Client> login(String username, String password) {
-        return ClientRepository.findByUsername(username)
-                .filter(client -> client.getPassword().equals(password));
+        loginCounter.increment();
+        passwordLengthSummary.record(password.length());
+
+        long start = stageTimers.start();
+        try {
+            Thread.sleep(loginDelayMillis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            stageTimers.stop(Stage.LOGIN_SLEEP, start);
+        }
+
+        Optional<Client> clientOpt;
+        start = stageTimers.start();
+        try {
+            clientOpt = ClientRepository.findByUsername(username);
+        } finally {
+            stageTimers.stop(Stage.REPOSITORY_SCAN, start);
+        }
+
+        Optional<Client> result = clientOpt.filter(client -> client.getPassword().equals(password));
+        if (result.isPresent()) {
+            userCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    public void logout() {
+        userCount.decrementAndGet();
     }
 }
\ No newline at end of file
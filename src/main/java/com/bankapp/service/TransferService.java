@@ -0,0 +1,83 @@
+package com.bankapp.service;
+
+import com.bankapp.fraud.TransferCheckPipeline;
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import com.bankapp.replication.ReplicationPublisher;
+import com.bankapp.util.StageTimers;
+import com.bankapp.util.StageTimers.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Проведение перевода между счетами: проверки, списание/зачисление и публикация в журнал репликации.
+ * Общая часть текстового и бинарного API.
+ */
+@Service
+public class TransferService {
+    private final TransferCheckPipeline transferChecks;
+    private final ReplicationPublisher replicationPublisher;
+    private final StageTimers stageTimers;
+    private final Counter transferCounter;
+    private final DistributionSummary amountSummary;
+
+    // Проверка баланса, списание, зачисление и публикация выполняются атомарно:
+    // порядок событий в журнале репликации совпадает с порядком изменений балансов
+    private final Object settlementLock = new Object();
+
+    @Value("${replication.role:standalone}")
+    private String role;
+
+    public TransferService(TransferCheckPipeline transferChecks, ReplicationPublisher replicationPublisher,
+                           StageTimers stageTimers, MeterRegistry meterRegistry) {
+        this.transferChecks = transferChecks;
+        this.replicationPublisher = replicationPublisher;
+        this.stageTimers = stageTimers;
+
+        this.transferCounter = meterRegistry.counter("transactions.count");
+        this.amountSummary = DistributionSummary.builder("transactions.amounts")
+                .baseUnit("rubles")
+                .description("Суммы переводов")
+                .register(meterRegistry);
+    }
+
+    public TransferResult transfer(Account senderAccount, Account recipientAccount, double amount) {
+        if ("follower".equals(role)) {
+            return TransferResult.READ_ONLY;
+        }
+
+        // Проверки знака суммы, лимитов и частоты переводов; при успехе перевод уже учтён в лимитах
+        long now = System.currentTimeMillis();
+        long start = stageTimers.start();
+        TransferResult result = transferChecks.check(senderAccount, recipientAccount, amount, now);
+        stageTimers.stop(Stage.TRANSFER_CHECKS, start);
+        if (result != TransferResult.OK) {
+            return result;
+        }
+
+        synchronized (settlementLock) {
+            if (senderAccount.getBalance() < amount) {
+                transferChecks.release(senderAccount, recipientAccount, amount, now);
+                return TransferResult.INSUFFICIENT_FUNDS;
+            }
+
+            // Обновляем балансы
+            start = stageTimers.start();
+            senderAccount.setBalance(senderAccount.getBalance() - amount);
+            recipientAccount.setBalance(recipientAccount.getBalance() + amount);
+            stageTimers.stop(Stage.BALANCE_UPDATE, start);
+
+            start = stageTimers.start();
+            replicationPublisher.publishTransfer(senderAccount, recipientAccount);
+            stageTimers.stop(Stage.REPLICATION_PUBLISH, start);
+        }
+
+        // Метрики
+        transferCounter.increment();
+        amountSummary.record(amount);
+        return TransferResult.OK;
+    }
+}
@@ -2,28 +2,45 @@ package com.bankapp.util;
 
 import com.bankapp.model.Account;
 import com.bankapp.model.Client;
+import com.bankapp.repository.ClientRepository;
+import com.bankapp.util.StageTimers.Stage;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpSession;
 
+/**
+ * В сессии хранятся только идентификаторы, объекты каждый раз берутся из репозитория.
+ * На follower'е снимок при переподключении заменяет всех клиентов и счета новыми объектами,
+ * и сохранённые в сессии старые экземпляры перестали бы получать изменения.
+ */
 @Component
 public class SessionManager {
     private static final String LOGGED_IN_CLIENT = "loggedInClient";
     private static final String RECIPIENT_CLIENT = "recipientClient";
     private static final String RECIPIENT_ACCOUNT = "recipientAccount";
 
+    private final StageTimers stageTimers;
+
+    public SessionManager(StageTimers stageTimers) {
+        this.stageTimers = stageTimers;
+    }
+
     private HttpSession getSession() {
+        long start = stageTimers.start();
         ServletRequestAttributes attr = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
-        return attr.getRequest().getSession(true);
+        HttpSession session = attr.getRequest().getSession(true);
+        stageTimers.stop(Stage.SESSION_ACCESS, start);
+        return session;
     }
 
     public void login(Client client) {
-        getSession().setAttribute(LOGGED_IN_CLIENT, client);
+        getSession().setAttribute(LOGGED_IN_CLIENT, client.getId());
     }
 
     public Client getLoggedInClient() {
-        return (Client) getSession().getAttribute(LOGGED_IN_CLIENT);
+        String clientId = (String) getSession().getAttribute(LOGGED_IN_CLIENT);
+        return clientId == null ? null : ClientRepository.findById(clientId).orElse(null);
     }
 
     public void logout() {
@@ -38,19 +55,29 @@ public class SessionManager {
     }
 
     public void setRecipientClient(Client client) {
-        getSession().setAttribute(RECIPIENT_CLIENT, client);
+        getSession().setAttribute(RECIPIENT_CLIENT, client.getId());
     }
 
     public void setRecipientAccount(Account account) {
-        getSession().setAttribute(RECIPIENT_ACCOUNT, account);
+        getSession().setAttribute(RECIPIENT_ACCOUNT, account.getId());
     }
 
     public Client getRecipientClient() {
-        return (Client) getSession().getAttribute(RECIPIENT_CLIENT);
+        String clientId = (String) getSession().getAttribute(RECIPIENT_CLIENT);
+        return clientId == null ? null : ClientRepository.findById(clientId).orElse(null);
     }
 
     public Account getRecipientAccount() {
-        return (Account) getSession().getAttribute(RECIPIENT_ACCOUNT);
+        HttpSession session = getSession();
+        Client recipient = getRecipientClient();
+        String accountId = (String) session.getAttribute(RECIPIENT_ACCOUNT);
+        if (recipient == null || accountId == null) {
+            return null;
+        }
+        return recipient.getAccounts().stream()
+                .filter(a -> a.getId().equals(accountId))
+                .findFirst()
+                .orElse(null);
     }
 
     public void clearRecipientData() {
@@ -0,0 +1,55 @@
+package com.bankapp.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Таймеры отдельных этапов внутри обработчиков (метрика stage.time с тегом stage).
+ * Таймеры регистрируются при старте, замер — два вызова System.nanoTime без выделения памяти:
+ * <pre>
+ * long start = stageTimers.start();
+ * ...
+ * stageTimers.stop(Stage.BALANCE_UPDATE, start);
+ * </pre>
+ */
+@Component
+public class StageTimers {
+
+    public enum Stage {
+        SESSION_ACCESS("session.access"),
+        REPOSITORY_SCAN("repository.scan"),
+        LOGIN_SLEEP("login.sleep"),
+        TRANSFER_CHECKS("transfer.checks"),
+        BALANCE_UPDATE("balance.update"),
+        REPLICATION_PUBLISH("replication.publish");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] timers = new Timer[Stage.values().length];
+
+    public StageTimers(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = Timer.builder("stage.time")
+                    .description("Время выполнения этапа обработки запроса")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(Stage stage, long start) {
+        timers[stage.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -2,26 +2,32 @@ package com.bankapp.util;
 
 import com.bankapp.model.Account;
 import com.bankapp.model.Client;
+import com.bankapp.replication.ReplicationPublisher;
 import com.bankapp.repository.ClientRepository;
 import com.bankapp.repository.AccountRepository;
 import com.github.javafaker.Faker;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Random;
 
+// Follower получает данные от primary, собственные тестовые данные ему не нужны
 @Component
+@ConditionalOnExpression("'${replication.role:standalone}' != 'follower'")
 public class TestDataInitializer implements CommandLineRunner {
     AccountRepository accountRepository;
+    ReplicationPublisher replicationPublisher;
     private final Faker faker = new Faker();
     private final Random random = new Random();
     private static final String CSV_HEADER = "username,password,fullName,AccountNumber,initialBalance\n";
     private static final String CSV_FILE_PATH = "test_accounts.csv";
 
-    public TestDataInitializer(AccountRepository accountRepository) {
+    public TestDataInitializer(AccountRepository accountRepository, ReplicationPublisher replicationPublisher) {
         this.accountRepository = accountRepository;
+        this.replicationPublisher = replicationPublisher;
     }
 
     @Override
@@ -60,6 +66,7 @@ public class TestDataInitializer implements CommandLineRunner {
                         initialBalance);
                 writer.write(csvLine);
             }
+            replicationPublisher.publishRegister(client);
         }
 
         System.out.println("🎉 Генерация тестовых данных завершена!");
@@ -0,0 +1,326 @@
+package com.bankapp.binary;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.bankapp.model.TransferResult;
+import com.bankapp.repository.ClientRepository;
+import com.bankapp.service.ClientService;
+import com.bankapp.service.TransferService;
+import com.bankapp.util.SessionManager;
+import com.bankapp.util.StageTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.bankapp.binary.BinaryProtocol.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BinaryControllerTest {
+
+    private final ClientService clientService = mock(ClientService.class);
+    private final TransferService transferService = mock(TransferService.class);
+    private final Client client = new Client("Тест Тестов", "+70000000000", "user1", "pass1");
+    private final Client recipient = new Client("Получатель", "+70000000001", "user2", "pass2");
+    private final Client withoutAccounts = new Client("Без Счетов", "+70000000002", "user3", "pass3");
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StageTimers stageTimers = new StageTimers(meterRegistry);
+        BinaryController controller = new BinaryController(clientService, transferService,
+                new SessionManager(stageTimers), stageTimers, meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        client.getAccounts().add(new Account());
+        client.getAccounts().get(0).setBalance(1000);
+        recipient.getAccounts().add(new Account());
+        ClientRepository.save(client);
+        ClientRepository.save(recipient);
+        ClientRepository.save(withoutAccounts);
+        when(clientService.login(anyString(), anyString())).thenReturn(Optional.empty());
+        when(clientService.login("user1", "pass1")).thenReturn(Optional.of(client));
+        when(clientService.login("user3", "pass3")).thenReturn(Optional.of(withoutAccounts));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClientRepository.clear();
+    }
+
+    @Test
+    void answersEveryFrameOfBatchInOrder() throws Exception {
+        List<Answer> answers = send(
+                frame(OP_BALANCE),
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                frame(OP_BALANCE),
+                frame((byte) 42));
+
+        assertThat(answers).extracting(Answer::op)
+                .containsExactly(OP_BALANCE, OP_LOGIN, OP_BALANCE, (byte) 42);
+        assertThat(answers).extracting(Answer::code)
+                .containsExactly(NOT_AUTHENTICATED, OK, OK, UNKNOWN_OPERATION);
+
+        ByteBuffer login = answers.get(1).payload();
+        assertThat(readString(login)).isEqualTo(client.getId());
+
+        ByteBuffer balance = answers.get(2).payload();
+        assertThat(balance.getShort()).isEqualTo((short) 1);
+        assertThat(readString(balance)).isEqualTo(client.getAccounts().get(0).getAccountNumber());
+        assertThat(balance.getDouble()).isEqualTo(client.getAccounts().get(0).getBalance());
+        assertThat(balance.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void rejectsWrongPassword() throws Exception {
+        List<Answer> answers = send(frame(OP_LOGIN, string("user1"), string("wrong")), frame(OP_BALANCE));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(BAD_CREDENTIALS, NOT_AUTHENTICATED);
+    }
+
+    @Test
+    void allowsSingleLoginPerRequest() throws Exception {
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("wrong")),
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                frame(OP_BALANCE));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(BAD_CREDENTIALS, BAD_REQUEST, NOT_AUTHENTICATED);
+        verify(clientService, times(1)).login(anyString(), anyString());
+    }
+
+    @Test
+    void stopsAfterMaxFrames() throws Exception {
+        byte[][] frames = new byte[MAX_FRAMES + 2][];
+        Arrays.fill(frames, frame((byte) 42));
+
+        List<Answer> answers = send(frames);
+
+        assertThat(answers).hasSize(MAX_FRAMES + 1);
+        assertThat(answers.subList(0, MAX_FRAMES)).extracting(Answer::code).containsOnly(UNKNOWN_OPERATION);
+        assertThat(answers.get(MAX_FRAMES).code()).isEqualTo(BAD_REQUEST);
+    }
+
+    @Test
+    void transferReturnsSenderBalance() throws Exception {
+        Account senderAccount = client.getAccounts().get(0);
+        Account recipientAccount = recipient.getAccounts().get(0);
+        when(transferService.transfer(senderAccount, recipientAccount, 150.25)).thenAnswer(invocation -> {
+            senderAccount.setBalance(senderAccount.getBalance() - 150.25);
+            return TransferResult.OK;
+        });
+
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                transferFrame("user2", recipientAccount.getAccountNumber(), 150.25));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(OK, OK);
+        ByteBuffer payload = answers.get(1).payload();
+        assertThat(payload.getDouble()).isEqualTo(849.75);
+        assertThat(payload.hasRemaining()).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "INVALID_AMOUNT, 7",
+            "DAILY_LIMIT_EXCEEDED, 8",
+            "VELOCITY_EXCEEDED, 9",
+            "INSUFFICIENT_FUNDS, 10",
+            "READ_ONLY, 11"
+    })
+    void transferMapsRejectionToResultCode(TransferResult result, byte code) throws Exception {
+        when(transferService.transfer(any(), any(), anyDouble())).thenReturn(result);
+
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                transferFrame("user2", recipient.getAccounts().get(0).getAccountNumber(), 10));
+
+        assertThat(answers.get(1).code()).isEqualTo(code);
+        assertThat(answers.get(1).payload().hasRemaining()).isFalse();
+    }
+
+    @Test
+    void transferRequiresLogin() throws Exception {
+        List<Answer> answers = send(transferFrame("user2", recipient.getAccounts().get(0).getAccountNumber(), 10));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(NOT_AUTHENTICATED);
+        verify(transferService, never()).transfer(any(), any(), anyDouble());
+    }
+
+    @Test
+    void transferRequiresSenderAccount() throws Exception {
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user3"), string("pass3")),
+                transferFrame("user2", recipient.getAccounts().get(0).getAccountNumber(), 10));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(OK, NO_ACCOUNT);
+        verify(transferService, never()).transfer(any(), any(), anyDouble());
+    }
+
+    @Test
+    void transferRequiresExistingRecipientAccount() throws Exception {
+        String accountNumber = recipient.getAccounts().get(0).getAccountNumber();
+
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                transferFrame("nobody", accountNumber, 10),
+                transferFrame("user2", "000000000000", 10),
+                // Счёт есть, но принадлежит другому клиенту
+                transferFrame("user2", client.getAccounts().get(0).getAccountNumber(), 10));
+
+        assertThat(answers).extracting(Answer::code)
+                .containsExactly(OK, RECIPIENT_NOT_FOUND, RECIPIENT_NOT_FOUND, RECIPIENT_NOT_FOUND);
+        verify(transferService, never()).transfer(any(), any(), anyDouble());
+    }
+
+    @Test
+    void transferWithoutAmountIsBadRequest() throws Exception {
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                frame(OP_TRANSFER, string("user2"), string(recipient.getAccounts().get(0).getAccountNumber()),
+                        new byte[Double.BYTES - 1]));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(OK, BAD_REQUEST);
+        verify(transferService, never()).transfer(any(), any(), anyDouble());
+    }
+
+    @Test
+    void stopsOnTruncatedFrame() throws Exception {
+        byte[] truncated = ByteBuffer.allocate(Integer.BYTES + 1).putInt(10).put(OP_BALANCE).array();
+
+        List<Answer> answers = send(frame((byte) 42), truncated, frame((byte) 42));
+
+        assertThat(answers).extracting(Answer::op).containsExactly((byte) 42, (byte) 0);
+        assertThat(answers).extracting(Answer::code).containsExactly(UNKNOWN_OPERATION, BAD_REQUEST);
+    }
+
+    @Test
+    void rejectsStringLongerThanFrameAndContinues() throws Exception {
+        byte[] oversized = ByteBuffer.allocate(Short.BYTES + 3).putShort(Short.MAX_VALUE)
+                .put("abc".getBytes(StandardCharsets.UTF_8)).array();
+
+        List<Answer> answers = send(
+                frame(OP_LOGIN, oversized, string("pass1")),
+                frame(OP_LOGIN, string("user1"), string("pass1")));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(BAD_REQUEST, OK);
+    }
+
+    @Test
+    void stopsWhenResponseLimitIsReached() throws Exception {
+        // 20 счетов — около 450 байт на ответ BALANCE, MAX_FRAMES таких ответов не помещаются в буфер
+        for (int i = 0; i < 19; i++) {
+            client.getAccounts().add(new Account());
+        }
+        List<byte[]> frames = new ArrayList<>();
+        frames.add(frame(OP_LOGIN, string("user1"), string("pass1")));
+        for (int i = 1; i < MAX_FRAMES; i++) {
+            frames.add(frame(OP_BALANCE));
+        }
+
+        byte[] body = postFrames(frames.toArray(new byte[0][]));
+        List<Answer> answers = parse(body);
+
+        assertThat(body.length).isLessThanOrEqualTo(MAX_RESPONSE_BYTES);
+        assertThat(answers.size()).isLessThan(frames.size());
+        assertThat(answers.get(answers.size() - 1).code()).isEqualTo(BAD_REQUEST);
+        assertThat(answers.subList(0, answers.size() - 1)).extracting(Answer::code).containsOnly(OK);
+    }
+
+    @Test
+    void rejectsBalanceThatDoesNotFitIntoResponse() throws Exception {
+        for (int i = 0; i < 3000; i++) {
+            client.getAccounts().add(new Account());
+        }
+
+        List<Answer> answers = send(
+                frame(OP_LOGIN, string("user1"), string("pass1")),
+                frame(OP_BALANCE),
+                frame((byte) 42));
+
+        assertThat(answers).extracting(Answer::code).containsExactly(OK, BAD_REQUEST);
+    }
+
+    private List<Answer> send(byte[]... frames) throws Exception {
+        return parse(postFrames(frames));
+    }
+
+    private byte[] postFrames(byte[]... frames) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            body.write(frame);
+        }
+        return mockMvc.perform(post("/binary").contentType(MEDIA_TYPE).content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<Answer> parse(byte[] body) {
+        ByteBuffer in = ByteBuffer.wrap(body);
+        List<Answer> answers = new ArrayList<>();
+        while (in.hasRemaining()) {
+            int length = in.getInt();
+            byte op = in.get();
+            byte code = in.get();
+            byte[] payload = new byte[length - 2];
+            in.get(payload);
+            answers.add(new Answer(op, code, ByteBuffer.wrap(payload)));
+        }
+        return answers;
+    }
+
+    private static byte[] frame(byte op, byte[]... fields) {
+        int length = 1;
+        for (byte[] field : fields) {
+            length += field.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + length).putInt(length).put(op);
+        for (byte[] field : fields) {
+            out.put(field);
+        }
+        return out.array();
+    }
+
+    private static byte[] transferFrame(String username, String accountNumber, double amount) {
+        return frame(OP_TRANSFER, string(username), string(accountNumber),
+                ByteBuffer.allocate(Double.BYTES).putDouble(amount).array());
+    }
+
+    private static byte[] string(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Short.BYTES + bytes.length).putShort((short) bytes.length).put(bytes).array();
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Answer(byte op, byte code, ByteBuffer payload) {
+    }
+}
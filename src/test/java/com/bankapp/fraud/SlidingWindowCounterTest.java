@@ -0,0 +1,98 @@
+package com.bankapp.fraud;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    // Окно 1000 мс из 10 корзин по 100 мс
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+
+    @Test
+    void sumsValuesInsideWindow() {
+        counter.add(0, 5);
+        counter.add(450, 2);
+        counter.add(999, 1);
+
+        assertThat(counter.sum(999)).isEqualTo(8);
+    }
+
+    @Test
+    void dropsBucketOnceItLeavesWindow() {
+        counter.add(50, 5);
+        counter.add(550, 3);
+
+        assertThat(counter.sum(999)).isEqualTo(8);
+        assertThat(counter.sum(1000)).isEqualTo(3);
+        assertThat(counter.sum(1600)).isZero();
+    }
+
+    @Test
+    void reusesBucketAfterFullTurn() {
+        counter.add(50, 5);
+        counter.add(1050, 3);  // та же корзина, следующий оборот
+
+        assertThat(counter.sum(1050)).isEqualTo(3);
+    }
+
+    @Test
+    void tryAddAllowsExactlyTheLimit() {
+        assertThat(counter.tryAdd(0, 60, 100)).isTrue();
+        assertThat(counter.tryAdd(10, 40, 100)).isTrue();
+        assertThat(counter.tryAdd(20, 0.01, 100)).isFalse();
+        assertThat(counter.sum(20)).isEqualTo(100);
+    }
+
+    @Test
+    void removeUndoesReservation() {
+        counter.tryAdd(0, 60, 100);
+        counter.remove(0, 60);
+
+        assertThat(counter.sum(0)).isZero();
+        assertThat(counter.tryAdd(0, 100, 100)).isTrue();
+    }
+
+    @Test
+    void removeIgnoresBucketReusedByNewerTurn() {
+        counter.add(50, 5);
+        counter.add(1050, 3);
+        counter.remove(50, 5);
+
+        assertThat(counter.sum(1050)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentTryAddNeverExceedsLimit() throws InterruptedException {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (counter.tryAdd(0, 1, 50)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accepted.get()).isEqualTo(50);
+        assertThat(counter.sum(0)).isEqualTo(50);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bankapp.fraud;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.TransferResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransferRulesTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final Account sender = new Account();
+    private final Account recipient = new Account();
+
+    @Test
+    void amountSignRejectsNonPositiveAndNonFiniteAmounts() {
+        AmountSignRule rule = new AmountSignRule();
+
+        for (double amount : new double[]{Double.NaN, 0, -0.0, -1, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            assertThat(rule.check(sender, recipient, amount, NOW))
+                    .as("amount %s", amount)
+                    .isEqualTo(TransferResult.INVALID_AMOUNT);
+        }
+        assertThat(rule.check(sender, recipient, Double.MIN_VALUE, NOW)).isEqualTo(TransferResult.OK);
+    }
+
+    @Test
+    void dailyLimitAllowsExactlyTheLimit() {
+        DailyLimitRule rule = new DailyLimitRule(100);
+
+        assertThat(rule.check(sender, recipient, 60, NOW)).isEqualTo(TransferResult.OK);
+        assertThat(rule.check(sender, recipient, 40, NOW)).isEqualTo(TransferResult.OK);
+        assertThat(rule.check(sender, recipient, 0.01, NOW)).isEqualTo(TransferResult.DAILY_LIMIT_EXCEEDED);
+        // Лимит считается по счёту отправителя
+        assertThat(rule.check(recipient, sender, 100, NOW)).isEqualTo(TransferResult.OK);
+    }
+
+    @Test
+    void dailyLimitFreesAmountAfterReleaseAndAfterWindow() {
+        DailyLimitRule rule = new DailyLimitRule(100);
+
+        assertThat(rule.check(sender, recipient, 100, NOW)).isEqualTo(TransferResult.OK);
+        rule.release(sender, recipient, 100, NOW);
+        assertThat(rule.check(sender, recipient, 100, NOW)).isEqualTo(TransferResult.OK);
+
+        assertThat(rule.check(sender, recipient, 1, NOW + 1000)).isEqualTo(TransferResult.DAILY_LIMIT_EXCEEDED);
+        assertThat(rule.check(sender, recipient, 100, NOW + 25 * 3600_000L)).isEqualTo(TransferResult.OK);
+    }
+
+    @Test
+    void velocityAllowsExactlyMaxTransfersPerWindow() {
+        VelocityRule rule = new VelocityRule(3, 60);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rule.check(sender, recipient, 1, NOW + i)).isEqualTo(TransferResult.OK);
+        }
+        assertThat(rule.check(sender, recipient, 1, NOW + 3)).isEqualTo(TransferResult.VELOCITY_EXCEEDED);
+        assertThat(rule.check(sender, recipient, 1, NOW + 61_000)).isEqualTo(TransferResult.OK);
+    }
+
+    @Test
+    void pipelineReleasesEarlierReservationsWhenLaterRuleRejects() {
+        DailyLimitRule daily = new DailyLimitRule(100);
+        VelocityRule velocity = new VelocityRule(1, 60);
+        TransferCheckPipeline pipeline = new TransferCheckPipeline(
+                List.of(new AmountSignRule(), daily, velocity), new SimpleMeterRegistry());
+
+        assertThat(pipeline.check(sender, recipient, 10, NOW)).isEqualTo(TransferResult.OK);
+        assertThat(pipeline.check(sender, recipient, 10, NOW)).isEqualTo(TransferResult.VELOCITY_EXCEEDED);
+
+        // Отклонённый перевод не должен занимать дневной лимит: 10 + 90 = 100
+        assertThat(daily.check(sender, recipient, 90, NOW)).isEqualTo(TransferResult.OK);
+    }
+
+    @Test
+    void pipelineReleaseFreesAllReservations() {
+        DailyLimitRule daily = new DailyLimitRule(100);
+        VelocityRule velocity = new VelocityRule(1, 60);
+        TransferCheckPipeline pipeline = new TransferCheckPipeline(List.of(daily, velocity), new SimpleMeterRegistry());
+
+        assertThat(pipeline.check(sender, recipient, 100, NOW)).isEqualTo(TransferResult.OK);
+        pipeline.release(sender, recipient, 100, NOW);
+
+        assertThat(pipeline.check(sender, recipient, 100, NOW)).isEqualTo(TransferResult.OK);
+    }
+}
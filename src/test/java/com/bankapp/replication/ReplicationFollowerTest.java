@@ -0,0 +1,196 @@
+package com.bankapp.replication;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.bankapp.repository.AccountRepository;
+import com.bankapp.repository.ClientRepository;
+import com.bankapp.util.SessionManager;
+import com.bankapp.util.StageTimers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicationFollowerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AccountRepository accountRepository = new AccountRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicationFollower follower = new ReplicationFollower(objectMapper, accountRepository, meterRegistry);
+
+    private final Client client = new Client("Тест Тестов", "+70000000000", "user1", "pass1");
+    private final Client other = new Client("Другой Клиент", "+70000000001", "user2", "pass2");
+
+    ReplicationFollowerTest() {
+        client.getAccounts().add(new Account());
+        other.getAccounts().add(new Account());
+        ReflectionTestUtils.setField(follower, "maxStalenessMs", 2000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClientRepository.clear();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void snapshotReplacesAllClientsAndAccounts() throws Exception {
+        follower.apply(received(snapshot(3, client, other)));
+        follower.apply(received(snapshot(9, other)));
+
+        assertThat(follower.getAppliedSeq()).isEqualTo(9);
+        assertThat(ClientRepository.findById(client.getId())).isEmpty();
+        assertThat(accountRepository.findById(client.getAccounts().get(0).getId())).isEmpty();
+        assertThat(ClientRepository.findById(other.getId())).isPresent();
+    }
+
+    @Test
+    void rejectsChangeBeforeSnapshot() {
+        assertThatThrownBy(() -> follower.apply(received(transfer(1, 900, 1100))))
+                .isInstanceOf(IOException.class);
+        assertThat(follower.getAppliedSeq()).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsGapInSequence() throws Exception {
+        follower.apply(received(snapshot(5, client, other)));
+
+        assertThatThrownBy(() -> follower.apply(received(transfer(7, 900, 1100))))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> follower.apply(received(transfer(5, 900, 1100))))
+                .isInstanceOf(IOException.class);
+        assertThat(follower.getAppliedSeq()).isEqualTo(5);
+    }
+
+    @Test
+    void heartbeatMustCarryAppliedSeq() throws Exception {
+        follower.apply(received(snapshot(5, client)));
+
+        follower.apply(received(heartbeat(5)));
+        assertThat(follower.getAppliedSeq()).isEqualTo(5);
+        assertThat(follower.isFresh()).isTrue();
+
+        assertThatThrownBy(() -> follower.apply(received(heartbeat(6))))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void transferSetsAbsoluteBalances() throws Exception {
+        follower.apply(received(snapshot(5, client, other)));
+
+        follower.apply(received(transfer(6, 900, 1100)));
+        follower.apply(received(transfer(7, 850, 1150)));
+
+        assertThat(accountRepository.findById(client.getAccounts().get(0).getId()).orElseThrow().getBalance())
+                .isEqualTo(850);
+        assertThat(accountRepository.findById(other.getAccounts().get(0).getId()).orElseThrow().getBalance())
+                .isEqualTo(1150);
+    }
+
+    @Test
+    void accountCreatedAlreadyInSnapshotIsSkipped() throws Exception {
+        // Счёт создан на primary между снимком и его событием: снимок уже содержит счёт
+        Account account = new Account();
+        client.getAccounts().add(account);
+        follower.apply(received(snapshot(5, client)));
+
+        follower.apply(received(accountCreated(6, client.getId(), account)));
+
+        Client replica = ClientRepository.findById(client.getId()).orElseThrow();
+        assertThat(replica.getAccounts()).hasSize(2);
+        // Клиент и репозиторий по-прежнему ссылаются на один объект, переводы видны через клиента
+        follower.apply(received(transfer(7, 500, 0)));
+        assertThat(replica.getAccounts().get(0).getBalance()).isEqualTo(500);
+    }
+
+    @Test
+    void accountCreatedAddsNewAccount() throws Exception {
+        follower.apply(received(snapshot(5, client)));
+        Account account = new Account();
+
+        follower.apply(received(accountCreated(6, client.getId(), account)));
+
+        assertThat(ClientRepository.findById(client.getId()).orElseThrow().getAccounts())
+                .extracting(Account::getId)
+                .containsExactly(client.getAccounts().get(0).getId(), account.getId());
+        assertThat(accountRepository.findById(account.getId())).isPresent();
+    }
+
+    @Test
+    void registerReplacesClient() throws Exception {
+        follower.apply(received(snapshot(5, client)));
+        client.setPhone("+79999999999");
+
+        follower.apply(received(register(6, client)));
+
+        assertThat(ClientRepository.findById(client.getId()).orElseThrow().getPhone()).isEqualTo("+79999999999");
+    }
+
+    @Test
+    void sessionSeesTransfersAppliedAfterResnapshot() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SessionManager sessionManager = new SessionManager(new StageTimers(meterRegistry));
+
+        follower.apply(received(snapshot(5, client, other)));
+        sessionManager.login(ClientRepository.findById(client.getId()).orElseThrow());
+
+        // Переподключение: снимок заменяет все объекты новыми экземплярами
+        follower.apply(received(snapshot(7, client, other)));
+        follower.apply(received(transfer(8, 900, 1100)));
+
+        Client loggedIn = sessionManager.getLoggedInClient();
+        assertThat(loggedIn.getAccounts().get(0).getBalance()).isEqualTo(900);
+    }
+
+    private ReplicationEvent snapshot(long seq, Client... clients) {
+        ReplicationEvent event = ReplicationEvent.snapshot(List.of(clients));
+        event.setSeq(seq);
+        return event;
+    }
+
+    private ReplicationEvent register(long seq, Client client) {
+        ReplicationEvent event = ReplicationEvent.register(client);
+        event.setSeq(seq);
+        return event;
+    }
+
+    private ReplicationEvent accountCreated(long seq, String clientId, Account account) {
+        ReplicationEvent event = ReplicationEvent.accountCreated(clientId, account);
+        event.setSeq(seq);
+        return event;
+    }
+
+    private ReplicationEvent heartbeat(long seq) {
+        ReplicationEvent event = ReplicationEvent.heartbeat();
+        event.setSeq(seq);
+        return event;
+    }
+
+    private ReplicationEvent transfer(long seq, double senderBalance, double recipientBalance) {
+        Account sender = new Account();
+        sender.setId(client.getAccounts().get(0).getId());
+        sender.setBalance(senderBalance);
+        Account recipient = new Account();
+        recipient.setId(other.getAccounts().get(0).getId());
+        recipient.setBalance(recipientBalance);
+
+        ReplicationEvent event = ReplicationEvent.transfer(sender, recipient);
+        event.setSeq(seq);
+        return event;
+    }
+
+    // Как по сети: follower получает собственные экземпляры клиентов и счетов
+    private ReplicationEvent received(ReplicationEvent event) throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsString(event), ReplicationEvent.class);
+    }
+}
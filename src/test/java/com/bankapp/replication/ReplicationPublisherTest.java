@@ -0,0 +1,57 @@
+package com.bankapp.replication;
+
+import com.bankapp.model.Account;
+import com.bankapp.model.Client;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationPublisherTest {
+
+    private final Client client = new Client("Тест Тестов", "+70000000000", "user1", "pass1");
+    private final Account sender = new Account();
+    private final Account recipient = new Account();
+
+    @Test
+    void primaryNumbersEveryChange() {
+        ReplicationPublisher publisher = publisher("primary");
+
+        publisher.publishRegister(client);
+        publisher.publishAccountCreated(client.getId(), sender);
+        publisher.publishTransfer(sender, recipient);
+
+        assertThat(publisher.getLastSeq()).isEqualTo(3);
+    }
+
+    @Test
+    void heartbeatDoesNotAdvanceSeq() {
+        ReplicationPublisher publisher = publisher("primary");
+        publisher.publishRegister(client);
+
+        ReflectionTestUtils.invokeMethod(publisher, "sendHeartbeat");
+
+        assertThat(publisher.getLastSeq()).isEqualTo(1);
+    }
+
+    @Test
+    void standaloneAndFollowerPublishNothing() {
+        for (String role : new String[]{"standalone", "follower"}) {
+            ReplicationPublisher publisher = publisher(role);
+
+            publisher.publishRegister(client);
+            publisher.publishTransfer(sender, recipient);
+
+            assertThat(publisher.getLastSeq()).as(role).isZero();
+        }
+    }
+
+    // Без @PostConstruct: сокет не открывается, follower'ов нет
+    private static ReplicationPublisher publisher(String role) {
+        ReplicationPublisher publisher = new ReplicationPublisher(new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(publisher, "role", role);
+        return publisher;
+    }
+}